@@ -0,0 +1,65 @@
+package com.siemens.internship.config;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread is working against.
+ * {@link ShardRoutingDataSource} uses it to pick the datasource for new connections,
+ * so every repository call made inside {@link #callOnShard} runs on that shard.
+ * A shard can only be bound outside of a transaction, since an open transaction
+ * keeps the connection of the shard it started on.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return The shard bound to the current thread, or null if none is bound
+     */
+    public static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Runs an action with the given shard bound to the current thread,
+     * restoring the previous binding afterwards.
+     * @param shard The index of the shard to run against
+     * @param action The action to run
+     * @return The result of the action
+     * @throws IllegalStateException if a transaction is active on the current thread
+     */
+    public static <T> T callOnShard(int shard, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside an active transaction");
+        }
+
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs an action with the given shard bound to the current thread.
+     * @param shard The index of the shard to run against
+     * @param action The action to run
+     */
+    public static void runOnShard(int shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
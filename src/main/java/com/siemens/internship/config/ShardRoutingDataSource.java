@@ -0,0 +1,78 @@
+package com.siemens.internship.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource that hands out connections of the shard bound to the current thread.
+ * While the application starts up (e.g. for Hibernate's metadata and schema checks), connections
+ * requested outside of a shard context go to the first shard. Once all singletons are created,
+ * such requests fail instead of silently reading a single shard.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource
+        implements SmartInitializingSingleton, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ShardRoutingDataSource.class);
+    private final List<DataSource> shards;
+    private volatile boolean started;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard must be configured");
+        }
+
+        this.shards = List.copyOf(shards);
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < this.shards.size(); i++) {
+            targets.put(i, this.shards.get(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(this.shards.get(0));
+    }
+
+    /**
+     * @return The number of shards connections are routed across
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        started = true;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.currentShard();
+        if (shard == null && started) {
+            throw new IllegalStateException("No shard bound to the current thread; access items through ShardedItemRepository");
+        }
+
+        return shard;
+    }
+
+    /**
+     * Closes the connection pools of all shards.
+     */
+    @Override
+    public void close() {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close shard datasource: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.siemens.internship.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the shard datasources and exposes them to JPA as a single routing datasource.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+    private static final String SHARD_SCHEMA = "db/item-shard-schema.sql";
+
+    /**
+     * Builds one datasource per configured shard and makes sure each of them has the item schema.
+     * The shard schema script is the only source of the schema; Hibernate just validates it.
+     * @param shardingProperties The configured shards
+     * @param dataSourceProperties The default datasource, used when no shards are configured
+     * @return The datasource routing every connection to the current shard
+     */
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties shardingProperties,
+                                             DataSourceProperties dataSourceProperties) {
+        List<DataSource> shards = new ArrayList<>();
+
+        if (shardingProperties.getShards().isEmpty()) {
+            shards.add(dataSourceProperties.initializeDataSourceBuilder().build());
+        } else {
+            for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+                shards.add(DataSourceBuilder.create()
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build());
+            }
+        }
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SHARD_SCHEMA));
+        shards.forEach(populator::execute);
+
+        logger.info("Routing items across {} shard(s)", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+}
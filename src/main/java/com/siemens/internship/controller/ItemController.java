@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.HashMap;
 import java.util.List;
@@ -35,12 +36,23 @@ public class ItemController {
 
     /**
      * Retrieves all items.
-     * @return List of all items with HTTP 200 OK status
+     * @param fields Optional comma-separated list of fields to return, e.g. {@code fields=id,status}
+     * @return List of all items with HTTP 200 OK status, or error details with HTTP 400 BAD REQUEST
      */
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
-        logger.info("Retrieving all items");
-        return ResponseEntity.ok(itemService.findAll());
+    public ResponseEntity<?> getAllItems(@RequestParam(required = false) List<String> fields) {
+        if (fields == null) {
+            logger.info("Retrieving all items");
+            return ResponseEntity.ok(itemService.findAll());
+        }
+
+        try {
+            logger.info("Retrieving all items with fields: {}", fields);
+            return ResponseEntity.ok(itemService.findAll(fields));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid fieldset requested: {}", fields);
+            return ResponseEntity.badRequest().body(Map.of("fields", e.getMessage()));
+        }
     }
 
     /**
@@ -66,6 +78,7 @@ public class ItemController {
 
         try {
             logger.info("Creating new item: {}", item.getName());
+            item.setId(null);
 
             Item savedItem = itemService.save(item);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedItem);
@@ -81,21 +94,37 @@ public class ItemController {
     /**
      * Retrieves an item by ID.
      * @param id The ID of the item to retrieve
-     * @return Item with HTTP 200 OK status, or HTTP 404 NOT FOUND if not found
+     * @param fields Optional comma-separated list of fields to return, e.g. {@code fields=id,status}
+     * @return Item with HTTP 200 OK status, HTTP 404 NOT FOUND if not found,
+     *         or error details with HTTP 400 BAD REQUEST for an invalid fieldset
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Item> getItemById(@PathVariable Long id) {
-        logger.info("Retrieving item with ID: {}", id);
-        return itemService.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getItemById(@PathVariable Long id,
+                                         @RequestParam(required = false) List<String> fields) {
+        if (fields == null) {
+            logger.info("Retrieving item with ID: {}", id);
+            return itemService.findById(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+
+        try {
+            logger.info("Retrieving item with ID: {} and fields: {}", id, fields);
+            return itemService.findById(id, fields)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid fieldset requested: {}", fields);
+            return ResponseEntity.badRequest().body(Map.of("fields", e.getMessage()));
+        }
     }
 
     /**
      * Updates an existing item.
      * @param id The ID of the item to update
      * @param item The updated item data
-     * @return Updated item with HTTP 200 OK status, or HTTP 404 NOT FOUND if not found
+     * @return Updated item with HTTP 200 OK status, HTTP 404 NOT FOUND if not found,
+     *         or HTTP 409 CONFLICT if the email is taken or the item changed concurrently
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody Item item, BindingResult result) {
@@ -123,7 +152,7 @@ public class ItemController {
             logger.info("Updating item with ID: {}", id);
             item.setId(id);
 
-            Item updatedItem = itemService.save(item);
+            Item updatedItem = itemService.update(item, existingItem.get().getEmail());
             return ResponseEntity.ok(updatedItem);
         } catch (DataIntegrityViolationException e) {
             Map<String, String> error = new HashMap<>();
@@ -131,6 +160,12 @@ public class ItemController {
 
             logger.warn("Email already in use: {}", item.getEmail());
             return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("item", "Item was modified or deleted concurrently");
+
+            logger.warn("Concurrent modification of item with ID: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         }
     }
 
@@ -149,7 +184,7 @@ public class ItemController {
         }
 
         logger.info("Deleting item with ID: {}", id);
-        itemService.deleteById(id);
+        itemService.delete(existingItem.get());
         return ResponseEntity.noContent().build();
     }
 
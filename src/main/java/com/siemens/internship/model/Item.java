@@ -1,8 +1,6 @@
 package com.siemens.internship.model;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.validation.constraints.Email;
@@ -17,6 +15,8 @@ import lombok.Setter;
 /**
  * Entity class representing an Item in the system.
  * Each item has a name, description, status, and associated email.
+ * IDs are assigned by {@link com.siemens.internship.repository.ShardedItemRepository}
+ * and determine the shard the item is stored on.
  */
 @Entity
 @Getter
@@ -25,7 +25,6 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -2,11 +2,43 @@ package com.siemens.internship.repository;
 
 import com.siemens.internship.model.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+/**
+ * Shard-local item repository: every call runs against the shard bound to the current thread.
+ * Service code must go through {@link ShardedItemRepository}, which binds the right shard
+ * and merges results across shards.
+ */
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     @Query("SELECT id FROM Item")
     List<Long> findAllIds();
+
+    /**
+     * Updates an item only if it still exists with the expected email.
+     * @return The number of updated rows, 0 if the item was deleted or its email changed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Item i SET i.name = :name, i.description = :description, i.status = :status, i.email = :email "
+            + "WHERE i.id = :id AND (i.email = :previousEmail OR (i.email IS NULL AND :previousEmail IS NULL))")
+    int updateIfEmailMatches(@Param("id") Long id,
+                             @Param("name") String name,
+                             @Param("description") String description,
+                             @Param("status") String status,
+                             @Param("email") String email,
+                             @Param("previousEmail") String previousEmail);
+
+    /**
+     * Deletes an item without loading it first.
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Item i WHERE i.id = :id")
+    int deleteItem(@Param("id") Long id);
 }
@@ -0,0 +1,42 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom repository fragment for reading sparse fieldsets of items and inserting new ones.
+ * Projections select only the requested columns, so no Item entities are hydrated.
+ */
+public interface ItemRepositoryCustom {
+    /**
+     * Item attributes that can be requested through a projection.
+     */
+    List<String> PROJECTABLE_FIELDS = List.of("id", "name", "description", "status", "email");
+
+    /**
+     * Retrieves the requested fields of all items.
+     * @param fields The item attributes to select, in output order
+     * @return One map per item, keyed by field name
+     */
+    List<Map<String, Object>> findAllProjected(Collection<String> fields);
+
+    /**
+     * Retrieves the requested fields of a single item.
+     * @param id The ID of the item to retrieve
+     * @param fields The item attributes to select, in output order
+     * @return The selected fields keyed by name, or empty if the item does not exist
+     */
+    Optional<Map<String, Object>> findProjectedById(Long id, Collection<String> fields);
+
+    /**
+     * Inserts a new item whose ID has already been assigned.
+     * Unlike {@code save}, this persists directly instead of merging, so no SELECT precedes the INSERT.
+     * @param item The item to insert
+     * @return The inserted item
+     */
+    Item insert(Item item);
+}
@@ -0,0 +1,86 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Criteria based implementation of {@link ItemRepositoryCustom}.
+ * Builds tuple queries that select only the requested columns.
+ */
+@Transactional(readOnly = true)
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllProjected(Collection<String> fields) {
+        CriteriaQuery<Tuple> query = createProjectionQuery(fields, null);
+
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .map(tuple -> toMap(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProjectedById(Long id, Collection<String> fields) {
+        CriteriaQuery<Tuple> query = createProjectionQuery(fields, id);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    @Override
+    @Transactional
+    public Item insert(Item item) {
+        entityManager.persist(item);
+        return item;
+    }
+
+    /**
+     * Builds a tuple query selecting the given fields, each aliased by its name.
+     * @param fields The item attributes to select
+     * @param id Optional ID to restrict the query to, or null for all items
+     * @return The criteria query
+     */
+    private CriteriaQuery<Tuple> createProjectionQuery(Collection<String> fields, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Item> root = query.from(Item.class);
+
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList();
+        query.multiselect(selections);
+
+        if (id != null) {
+            query.where(cb.equal(root.get("id"), id));
+        }
+
+        return query;
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, Collection<String> fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        fields.forEach(field -> result.put(field, tuple.get(field)));
+        return result;
+    }
+}
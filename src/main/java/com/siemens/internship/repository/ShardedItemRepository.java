@@ -0,0 +1,350 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.config.ShardContext;
+import com.siemens.internship.config.ShardRoutingDataSource;
+import com.siemens.internship.model.Item;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sharding layer in front of {@link ItemRepository}.
+ * <p>
+ * An item lives on the shard given by its ID modulo the shard count. New items are spread
+ * round-robin across shards and get an ID of {@code localId * shardCount + shard}, where the
+ * local ID is reserved in blocks from the chosen shard's sequence, so ID lookups always hit
+ * a single shard.
+ * Reads over all items are scattered to every shard in parallel and merged.
+ * <p>
+ * Email uniqueness is enforced by the {@code item_email} table: each email is owned by one row
+ * on the shard given by the email's hash, whose primary key rejects a second owner. The email
+ * is claimed there before the item itself is written. Claims left behind by writes that never
+ * completed are taken over once they time out.
+ * <p>
+ * The shard count must not change once items have been stored.
+ */
+@Repository
+public class ShardedItemRepository {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedItemRepository.class);
+    private static final String ID_SEQUENCE = "item_seq";
+    private static final int SCATTER_THREADS_PER_SHARD = 4;
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final Duration CLAIM_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String CLAIM_EMAIL_SQL = "INSERT INTO item_email (email, item_id, claimed_at) VALUES (?, ?, ?)";
+    private static final String EMAIL_CLAIM_SQL = "SELECT item_id, claimed_at FROM item_email WHERE email = ?";
+    private static final String RECLAIM_EMAIL_SQL =
+            "UPDATE item_email SET item_id = ?, claimed_at = ? WHERE email = ? AND item_id = ? AND claimed_at = ?";
+    private static final String RELEASE_EMAIL_SQL = "DELETE FROM item_email WHERE email = ? AND item_id = ?";
+
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextIdSql;
+    private final int shardCount;
+    private final ExecutorService executor;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final IdBlock[] idBlocks;
+
+    public ShardedItemRepository(ItemRepository itemRepository,
+                                 ShardRoutingDataSource dataSource,
+                                 EntityManagerFactory entityManagerFactory) {
+        this.itemRepository = itemRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.nextIdSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(ID_SEQUENCE);
+        this.shardCount = dataSource.getShardCount();
+        this.executor = Executors.newFixedThreadPool(shardCount * SCATTER_THREADS_PER_SHARD);
+        this.idBlocks = IntStream.range(0, shardCount)
+                .mapToObj(shard -> new IdBlock())
+                .toArray(IdBlock[]::new);
+    }
+
+    /**
+     * @param id The ID of an item
+     * @return The index of the shard the item is stored on
+     */
+    public int shardFor(Long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    /**
+     * @param email An item email
+     * @return The index of the shard owning the email's {@code item_email} row
+     */
+    public int emailShardFor(String email) {
+        return Math.floorMod(email.hashCode(), shardCount);
+    }
+
+    public List<Item> findAll() {
+        return scatter(itemRepository::findAll);
+    }
+
+    public List<Long> findAllIds() {
+        return scatter(itemRepository::findAllIds);
+    }
+
+    public List<Map<String, Object>> findAllProjected(Collection<String> fields) {
+        return scatter(() -> itemRepository.findAllProjected(fields));
+    }
+
+    public Optional<Item> findById(Long id) {
+        return ShardContext.callOnShard(shardFor(id), () -> itemRepository.findById(id));
+    }
+
+    public Optional<Map<String, Object>> findProjectedById(Long id, Collection<String> fields) {
+        return ShardContext.callOnShard(shardFor(id), () -> itemRepository.findProjectedById(id, fields));
+    }
+
+    /**
+     * Creates a new item on the next shard. Its ID is reserved up front so the email can be
+     * claimed with its final owner in a single statement; the item only gets the ID once the
+     * claim succeeds.
+     * @param item The item to create
+     * @return The created item
+     * @throws DataIntegrityViolationException if the email is already used by another item
+     */
+    public Item create(Item item) {
+        Long id = nextId();
+        String email = item.getEmail();
+        if (email != null) {
+            claimEmail(email, id);
+        }
+
+        try {
+            item.setId(id);
+            return ShardContext.callOnShard(shardFor(id), () -> itemRepository.insert(item));
+        } catch (RuntimeException e) {
+            if (email != null) {
+                releaseEmail(email, id);
+            }
+            item.setId(null);
+            throw e;
+        }
+    }
+
+    /**
+     * Updates an existing item on its shard. The update only applies if the stored item still has
+     * the email the caller read, so concurrent email changes and deletes are detected instead of
+     * being overwritten or re-inserted.
+     * @param item The updated item, with its ID set
+     * @param previousEmail The email the item had when the caller read it
+     * @return The updated item
+     * @throws DataIntegrityViolationException if the new email is already used by another item
+     * @throws OptimisticLockingFailureException if the item was deleted or its email changed concurrently
+     */
+    public Item update(Item item, String previousEmail) {
+        Long id = item.getId();
+        String email = item.getEmail();
+        boolean emailChanged = !Objects.equals(email, previousEmail);
+
+        if (emailChanged && email != null) {
+            claimEmail(email, id);
+        }
+
+        int updated;
+        try {
+            updated = ShardContext.callOnShard(shardFor(id), () -> itemRepository.updateIfEmailMatches(
+                    id, item.getName(), item.getDescription(), item.getStatus(), email, previousEmail));
+        } catch (RuntimeException e) {
+            if (emailChanged && email != null) {
+                releaseEmail(email, id);
+            }
+            throw e;
+        }
+
+        if (updated == 0) {
+            if (emailChanged && email != null) {
+                releaseEmail(email, id);
+            }
+            throw new OptimisticLockingFailureException("Item " + id + " was deleted or modified concurrently");
+        }
+
+        if (emailChanged && previousEmail != null) {
+            releaseEmail(previousEmail, id);
+        }
+        return item;
+    }
+
+    /**
+     * Deletes an item and releases its email claim.
+     * @param id The ID of the item to delete
+     * @param email The email of the item as it was read before the delete
+     */
+    public void deleteById(Long id, String email) {
+        int deleted = ShardContext.callOnShard(shardFor(id), () -> itemRepository.deleteItem(id));
+        if (deleted > 0 && email != null) {
+            releaseEmail(email, id);
+        }
+    }
+
+    /**
+     * Claims an email for an item. Claiming an email the item already owns succeeds.
+     * A claim held by another item is taken over if it is older than {@link #CLAIM_TIMEOUT} and
+     * was left behind by a write that never completed, i.e. its item no longer exists or no
+     * longer has this email.
+     * @param email The email to claim
+     * @param id The ID of the item claiming it
+     * @throws DataIntegrityViolationException if the email is owned by another item
+     */
+    private void claimEmail(String email, Long id) {
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            updateOnEmailShard(email, CLAIM_EMAIL_SQL, email, id, now);
+            return;
+        } catch (DuplicateKeyException e) {
+            // Owned by this item, by another item, or left behind by an incomplete write
+        }
+
+        List<Map<String, Object>> claims = ShardContext.callOnShard(emailShardFor(email),
+                () -> jdbcTemplate.queryForList(EMAIL_CLAIM_SQL, email));
+        if (claims.isEmpty()) {
+            // Released in the meantime; the row can simply be inserted again
+            claimEmail(email, id);
+            return;
+        }
+
+        Long owner = ((Number) claims.get(0).get("item_id")).longValue();
+        Timestamp claimedAt = (Timestamp) claims.get(0).get("claimed_at");
+
+        if (owner.equals(id)) {
+            return;
+        }
+
+        boolean stale = claimedAt.toInstant().isBefore(now.toInstant().minus(CLAIM_TIMEOUT));
+        if (stale && !ownerHoldsEmail(owner, email)) {
+            int reclaimed = updateOnEmailShard(email, RECLAIM_EMAIL_SQL, id, now, email, owner, claimedAt);
+            if (reclaimed == 1) {
+                logger.warn("Reclaimed email {} from an incomplete write of item {}", email, owner);
+                return;
+            }
+        }
+
+        throw new DataIntegrityViolationException("Email is already in use");
+    }
+
+    private boolean ownerHoldsEmail(Long owner, String email) {
+        return findProjectedById(owner, List.of("email"))
+                .map(fields -> email.equals(fields.get("email")))
+                .orElse(false);
+    }
+
+    /**
+     * Releases an email claim.
+     * @param email The claimed email
+     * @param id The ID of the owning item
+     */
+    private void releaseEmail(String email, Long id) {
+        updateOnEmailShard(email, RELEASE_EMAIL_SQL, email, id);
+    }
+
+    private int updateOnEmailShard(String email, String sql, Object... args) {
+        return ShardContext.callOnShard(emailShardFor(email), () -> jdbcTemplate.update(sql, args));
+    }
+
+    /**
+     * Picks the next shard round-robin and takes a new ID from its current ID block.
+     * @return An ID that maps back to the chosen shard
+     */
+    private Long nextId() {
+        int shard = Math.floorMod(nextShard.getAndIncrement(), shardCount);
+        long localId = idBlocks[shard].next(
+                () -> ShardContext.callOnShard(shard, () -> jdbcTemplate.queryForObject(nextIdSql, Long.class)));
+        return localId * shardCount + shard;
+    }
+
+    /**
+     * Runs a query on every shard in parallel and concatenates the results in shard order.
+     * If any shard fails, the queries still pending on other shards are cancelled
+     * and the failure is rethrown to the caller.
+     * @param query The query to run on each shard
+     * @return The merged results of all shards
+     */
+    private <T> List<T> scatter(Supplier<List<T>> query) {
+        if (shardCount == 1) {
+            return ShardContext.callOnShard(0, query);
+        }
+
+        List<CompletableFuture<List<T>>> futures = IntStream.range(0, shardCount)
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> ShardContext.callOnShard(shard, query), executor))
+                .toList();
+
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        futures.forEach(future -> future.whenComplete((result, e) -> {
+            if (e != null) {
+                firstFailure.completeExceptionally(e);
+            }
+        }));
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])), firstFailure)
+                    .join();
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Shard-local IDs reserved in blocks of {@link #ID_BLOCK_SIZE}: each value drawn from the
+     * shard's sequence covers the block starting at {@code value * ID_BLOCK_SIZE}, so only one
+     * create in {@link #ID_BLOCK_SIZE} pays for a sequence round trip.
+     */
+    private static final class IdBlock {
+        private long next;
+        private long end;
+
+        synchronized long next(LongSupplier reserveBlock) {
+            if (next == end) {
+                next = reserveBlock.getAsLong() * ID_BLOCK_SIZE;
+                end = next + ID_BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+}
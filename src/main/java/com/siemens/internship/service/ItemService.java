@@ -1,17 +1,23 @@
 package com.siemens.internship.service;
 
 import com.siemens.internship.model.Item;
-import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ItemRepositoryCustom;
+import com.siemens.internship.repository.ShardedItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -23,10 +29,10 @@ public class ItemService {
     private static final ExecutorService executor = Executors.newFixedThreadPool(10);
     private final ConcurrentHashMap<Long, Item> processedItems = new ConcurrentHashMap<>();
 
-    private final ItemRepository itemRepository;
+    private final ShardedItemRepository itemRepository;
 
     @Autowired
-    public ItemService(ItemRepository itemRepository) {
+    public ItemService(ShardedItemRepository itemRepository) {
         this.itemRepository = itemRepository;
     }
 
@@ -39,28 +45,101 @@ public class ItemService {
     }
 
     /**
-     * Saves an item to the database.
+     * Retrieves only the requested fields of all items.
+     * @param fields The item attributes to include in the result
+     * @return One map per item, keyed by field name
+     * @throws IllegalArgumentException if no fields or unknown fields are requested
+     */
+    public List<Map<String, Object>> findAll(Collection<String> fields) {
+        return itemRepository.findAllProjected(resolveFields(fields));
+    }
+
+    /**
+     * Retrieves only the requested fields of an item.
+     * @param id The ID of the item to retrieve
+     * @param fields The item attributes to include in the result
+     * @return The selected fields keyed by name, or empty if the item does not exist
+     * @throws IllegalArgumentException if no fields or unknown fields are requested
+     */
+    public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+        return itemRepository.findProjectedById(id, resolveFields(fields));
+    }
+
+    /**
+     * Saves a new item to the database.
      * @param item The item to save
      * @return The saved item
-     * @throws DataIntegrityViolationException if the email is already in use
+     * @throws DataIntegrityViolationException if the email is already in use on any shard
      */
     public Item save(Item item) {
         try {
-            return itemRepository.save(item);
+            return itemRepository.create(item);
         } catch (DataIntegrityViolationException e) {
             logger.error("Failed to save item: Email {} is already in use", item.getEmail());
             throw new DataIntegrityViolationException("Email is already in use");
         }
     }
 
-    public void deleteById(Long id) {
-        itemRepository.deleteById(id);
+    /**
+     * Updates an existing item in the database.
+     * @param item The updated item, with its ID set
+     * @param previousEmail The email of the item as it was read before the update
+     * @return The updated item
+     * @throws DataIntegrityViolationException if the email is already in use on any shard
+     * @throws OptimisticLockingFailureException if the item was deleted or its email changed concurrently
+     */
+    public Item update(Item item, String previousEmail) {
+        try {
+            return itemRepository.update(item, previousEmail);
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Failed to update item: Email {} is already in use", item.getEmail());
+            throw new DataIntegrityViolationException("Email is already in use");
+        }
+    }
+
+    /**
+     * Deletes an item that was already loaded.
+     * @param item The item to delete
+     */
+    public void delete(Item item) {
+        itemRepository.deleteById(item.getId(), item.getEmail());
+    }
+
+    /**
+     * Normalizes a requested fieldset: trims names, drops blanks and duplicates
+     * while keeping the requested order, and rejects unknown field names.
+     * @param fields The raw field names
+     * @return The validated field names
+     * @throws IllegalArgumentException if no fields or unknown fields are requested
+     */
+    private static Set<String> resolveFields(Collection<String> fields) {
+        Set<String> resolved = new LinkedHashSet<>();
+        for (String field : fields) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty()) {
+                resolved.add(trimmed);
+            }
+        }
+
+        if (resolved.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be requested");
+        }
+
+        List<String> unknown = resolved.stream()
+                .filter(field -> !ItemRepositoryCustom.PROJECTABLE_FIELDS.contains(field))
+                .toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fields: " + String.join(", ", unknown)
+                    + ". Allowed fields: " + String.join(", ", ItemRepositoryCustom.PROJECTABLE_FIELDS));
+        }
+
+        return resolved;
     }
 
     /**
      * Asynchronously processes all items in the database.
      * This method:
-     * 1. Retrieves all item IDs from the database
+     * 1. Retrieves all item IDs from every shard in parallel
      * 2. Processes each item asynchronously
      * 3. Updates the status of each item to "PROCESSED"
      * 4. Tracks successfully processed items
@@ -88,7 +167,7 @@ public class ItemService {
                     Item item = itemOpt.get();
                     item.setStatus("PROCESSED");
 
-                    Item savedItem = itemRepository.save(item);
+                    Item savedItem = itemRepository.update(item, item.getEmail());
                     processedItems.put(id, savedItem);
 
                     logger.info("Successfully processed item with ID: {}", id);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS item (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(100),
+    description VARCHAR(500),
+    status VARCHAR(255),
+    email VARCHAR(255) UNIQUE
+);
+
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS item_email (
+    email VARCHAR(255) NOT NULL PRIMARY KEY,
+    item_id BIGINT NOT NULL,
+    claimed_at TIMESTAMP NOT NULL
+);
@@ -8,14 +8,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +59,41 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Test Item"));
     }
 
+    @Test
+    void testGetAllItemsWithFields() throws Exception {
+        Map<String, Object> projection = new LinkedHashMap<>();
+        projection.put("id", 1L);
+        projection.put("status", "PENDING");
+        when(itemService.findAll(List.of("id", "status"))).thenReturn(List.of(projection));
+
+        mockMvc.perform(get("/api/items").param("fields", "id,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].status").value("PENDING"))
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+        verify(itemService, never()).findAll();
+    }
+
+    @Test
+    void testGetAllItemsWithUnknownField() throws Exception {
+        when(itemService.findAll(anyList())).thenThrow(new IllegalArgumentException("Unknown fields: price"));
+
+        mockMvc.perform(get("/api/items").param("fields", "id,price"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields").value("Unknown fields: price"));
+    }
+
+    @Test
+    void testGetAllItemsWithEmptyFields() throws Exception {
+        when(itemService.findAll(anyList())).thenThrow(new IllegalArgumentException("At least one field must be requested"));
+
+        mockMvc.perform(get("/api/items").param("fields", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields").value("At least one field must be requested"));
+        verify(itemService, never()).findAll();
+    }
+
     @Test
     void testCreateItem() throws Exception {
         when(itemService.save(any(Item.class))).thenReturn(testItem);
@@ -98,10 +138,43 @@ class ItemControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testGetItemByIdWithFields() throws Exception {
+        Map<String, Object> projection = new LinkedHashMap<>();
+        projection.put("id", 1L);
+        projection.put("status", "PENDING");
+        when(itemService.findById(eq(1L), eq(List.of("id", "status")))).thenReturn(Optional.of(projection));
+
+        mockMvc.perform(get("/api/items/1").param("fields", "id,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.email").doesNotExist());
+        verify(itemService, never()).findById(1L);
+    }
+
+    @Test
+    void testGetItemByIdWithFieldsNotFound() throws Exception {
+        when(itemService.findById(eq(1L), anyList())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/items/1").param("fields", "id"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetItemByIdWithEmptyFields() throws Exception {
+        when(itemService.findById(eq(1L), anyList())).thenThrow(new IllegalArgumentException("At least one field must be requested"));
+
+        mockMvc.perform(get("/api/items/1").param("fields", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields").value("At least one field must be requested"));
+        verify(itemService, never()).findById(1L);
+    }
+
     @Test
     void testUpdateItem() throws Exception {
         when(itemService.findById(1L)).thenReturn(Optional.of(testItem));
-        when(itemService.save(any(Item.class))).thenReturn(testItem);
+        when(itemService.update(any(Item.class), eq("test@example.com"))).thenReturn(testItem);
 
         mockMvc.perform(put("/api/items/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -111,6 +184,19 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name").value("Test Item"));
     }
 
+    @Test
+    void testUpdateItemModifiedConcurrently() throws Exception {
+        when(itemService.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemService.update(any(Item.class), eq("test@example.com")))
+                .thenThrow(new OptimisticLockingFailureException("Item 1 was deleted or modified concurrently"));
+
+        mockMvc.perform(put("/api/items/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testItem)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.item").value("Item was modified or deleted concurrently"));
+    }
+
     @Test
     void testUpdateItemNotFound() throws Exception {
         when(itemService.findById(1L)).thenReturn(Optional.empty());
@@ -124,7 +210,7 @@ class ItemControllerTest {
     @Test
     void testDeleteItem() throws Exception {
         when(itemService.findById(1L)).thenReturn(Optional.of(testItem));
-        doNothing().when(itemService).deleteById(1L);
+        doNothing().when(itemService).delete(testItem);
 
         mockMvc.perform(delete("/api/items/1"))
                 .andExpect(status().isNoContent());
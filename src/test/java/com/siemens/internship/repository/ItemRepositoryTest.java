@@ -0,0 +1,61 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.schema-locations=classpath:db/item-shard-schema.sql")
+class ItemRepositoryTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Item testItem;
+
+    @BeforeEach
+    void setUp() {
+        testItem = new Item();
+        testItem.setId(1L);
+        testItem.setName("Test Item");
+        testItem.setDescription("Test Description");
+        testItem.setStatus("PENDING");
+        testItem.setEmail("test@example.com");
+        testItem = itemRepository.insert(testItem);
+    }
+
+    @Test
+    void testFindAllProjected() {
+        List<Map<String, Object>> items = itemRepository.findAllProjected(List.of("status", "id"));
+        assertEquals(1, items.size());
+        assertEquals(List.of("status", "id"), List.copyOf(items.get(0).keySet()));
+        assertEquals(testItem.getId(), items.get(0).get("id"));
+        assertEquals("PENDING", items.get(0).get("status"));
+    }
+
+    @Test
+    void testFindProjectedById() {
+        Optional<Map<String, Object>> found = itemRepository.findProjectedById(testItem.getId(), List.of("email"));
+        assertTrue(found.isPresent());
+        assertEquals(Map.of("email", "test@example.com"), found.get());
+    }
+
+    @Test
+    void testFindProjectedByIdNotFound() {
+        Optional<Map<String, Object>> found = itemRepository.findProjectedById(testItem.getId() + 1, List.of("id"));
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    void testInsert() {
+        assertTrue(itemRepository.existsById(testItem.getId()));
+        assertEquals("test@example.com", itemRepository.findById(testItem.getId()).orElseThrow().getEmail());
+    }
+}
@@ -0,0 +1,316 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.config.ShardContext;
+import com.siemens.internship.model.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.sharding.shards[0].url=jdbc:h2:mem:items-shard0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[1].url=jdbc:h2:mem:items-shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[2].url=jdbc:h2:mem:items-shard2;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[2].username=sa"
+})
+class ShardedItemRepositoryTest {
+
+    @Autowired
+    private ShardedItemRepository shardedItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        for (int shard = 0; shard < 3; shard++) {
+            ShardContext.runOnShard(shard, itemRepository::deleteAll);
+            ShardContext.runOnShard(shard, () -> jdbcTemplate.update("DELETE FROM item_email"));
+        }
+    }
+
+    private List<Long> emailOwners(String email) {
+        return ShardContext.callOnShard(shardedItemRepository.emailShardFor(email),
+                () -> jdbcTemplate.queryForList("SELECT item_id FROM item_email WHERE email = ?", Long.class, email));
+    }
+
+    private Item newItem(String email) {
+        Item item = new Item();
+        item.setName("Test Item");
+        item.setDescription("Test Description");
+        item.setStatus("PENDING");
+        item.setEmail(email);
+        return item;
+    }
+
+    @Test
+    void testSaveSpreadsItemsAcrossShards() {
+        List<Item> saved = List.of(
+                shardedItemRepository.create(newItem("a@example.com")),
+                shardedItemRepository.create(newItem("b@example.com")),
+                shardedItemRepository.create(newItem("c@example.com")));
+
+        Set<Integer> shards = saved.stream()
+                .map(item -> shardedItemRepository.shardFor(item.getId()))
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(0, 1, 2), shards);
+
+        for (Item item : saved) {
+            int shard = shardedItemRepository.shardFor(item.getId());
+            assertTrue(ShardContext.callOnShard(shard, () -> itemRepository.existsById(item.getId())));
+            long count = ShardContext.callOnShard(shard, itemRepository::count);
+            assertEquals(1L, count);
+        }
+    }
+
+    @Test
+    void testFindByIdRoutesToShard() {
+        Item saved = shardedItemRepository.create(newItem("a@example.com"));
+
+        Optional<Item> found = shardedItemRepository.findById(saved.getId());
+        assertTrue(found.isPresent());
+        assertEquals("a@example.com", found.get().getEmail());
+
+        Optional<Map<String, Object>> projected = shardedItemRepository.findProjectedById(saved.getId(), List.of("status"));
+        assertEquals(Optional.of(Map.of("status", "PENDING")), projected);
+    }
+
+    @Test
+    void testReadsGatherAllShards() {
+        shardedItemRepository.create(newItem("a@example.com"));
+        shardedItemRepository.create(newItem("b@example.com"));
+        shardedItemRepository.create(newItem("c@example.com"));
+
+        assertEquals(3, shardedItemRepository.findAll().size());
+        assertEquals(3, shardedItemRepository.findAllIds().size());
+        assertEquals(3, shardedItemRepository.findAllProjected(List.of("id")).size());
+    }
+
+    @Test
+    void testEmailUniqueAcrossShards() {
+        Item first = shardedItemRepository.create(newItem("a@example.com"));
+
+        Item duplicate = newItem("a@example.com");
+        assertThrows(DataIntegrityViolationException.class, () -> shardedItemRepository.create(duplicate));
+        assertNull(duplicate.getId());
+        assertEquals(1, shardedItemRepository.findAll().size());
+        assertEquals(List.of(first.getId()), emailOwners("a@example.com"));
+
+        first.setStatus("PROCESSED");
+        assertEquals("PROCESSED", shardedItemRepository.update(first, "a@example.com").getStatus());
+        assertEquals("PROCESSED", shardedItemRepository.findById(first.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testEmailClaimFollowsUpdates() {
+        Item first = shardedItemRepository.create(newItem("a@example.com"));
+        Item second = shardedItemRepository.create(newItem("b@example.com"));
+
+        second.setEmail("a@example.com");
+        assertThrows(DataIntegrityViolationException.class, () -> shardedItemRepository.update(second, "b@example.com"));
+        assertEquals(List.of(second.getId()), emailOwners("b@example.com"));
+
+        first.setEmail("c@example.com");
+        shardedItemRepository.update(first, "a@example.com");
+        assertEquals(List.of(first.getId()), emailOwners("c@example.com"));
+        assertTrue(emailOwners("a@example.com").isEmpty());
+
+        second.setEmail("a@example.com");
+        shardedItemRepository.update(second, "b@example.com");
+        assertEquals(List.of(second.getId()), emailOwners("a@example.com"));
+        assertTrue(emailOwners("b@example.com").isEmpty());
+    }
+
+    @Test
+    void testDeleteById() {
+        Item saved = shardedItemRepository.create(newItem("a@example.com"));
+
+        shardedItemRepository.deleteById(saved.getId(), "a@example.com");
+        assertTrue(shardedItemRepository.findById(saved.getId()).isEmpty());
+        assertTrue(emailOwners("a@example.com").isEmpty());
+    }
+
+    @Test
+    void testAccessWithoutShardFails() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> itemRepository.findAll());
+        assertInstanceOf(IllegalStateException.class, NestedExceptionUtils.getMostSpecificCause(e));
+    }
+
+    @Test
+    void testSwitchingShardInsideTransactionFails() {
+        assertThrows(IllegalStateException.class, () -> ShardContext.runOnShard(0,
+                () -> transactionTemplate.executeWithoutResult(status ->
+                        ShardContext.runOnShard(1, itemRepository::count))));
+    }
+
+    @Test
+    void testScatterFailsWhenOneShardFails() {
+        shardedItemRepository.create(newItem("a@example.com"));
+        ShardContext.runOnShard(1, () -> jdbcTemplate.execute("ALTER TABLE item RENAME TO item_offline"));
+
+        try {
+            assertThrows(DataAccessException.class, () -> shardedItemRepository.findAll());
+        } finally {
+            ShardContext.runOnShard(1, () -> jdbcTemplate.execute("ALTER TABLE item_offline RENAME TO item"));
+        }
+    }
+
+    private void insertClaim(String email, Long itemId, Instant claimedAt) {
+        ShardContext.runOnShard(shardedItemRepository.emailShardFor(email),
+                () -> jdbcTemplate.update("INSERT INTO item_email (email, item_id, claimed_at) VALUES (?, ?, ?)",
+                        email, itemId, Timestamp.from(claimedAt)));
+    }
+
+    @Test
+    void testStaleOrphanedClaimIsReclaimed() {
+        insertClaim("a@example.com", 999_999L, Instant.now().minus(Duration.ofHours(1)));
+
+        Item created = shardedItemRepository.create(newItem("a@example.com"));
+        assertEquals(List.of(created.getId()), emailOwners("a@example.com"));
+    }
+
+    @Test
+    void testFreshOrphanedClaimIsNotReclaimed() {
+        insertClaim("a@example.com", 999_999L, Instant.now());
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> shardedItemRepository.create(newItem("a@example.com")));
+        assertEquals(List.of(999_999L), emailOwners("a@example.com"));
+    }
+
+    @Test
+    void testStaleClaimOfItemStillHoldingEmailIsNotReclaimed() {
+        Item owner = shardedItemRepository.create(newItem("a@example.com"));
+        ShardContext.runOnShard(shardedItemRepository.emailShardFor("a@example.com"),
+                () -> jdbcTemplate.update("UPDATE item_email SET claimed_at = ? WHERE email = ?",
+                        Timestamp.from(Instant.now().minus(Duration.ofHours(1))), "a@example.com"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> shardedItemRepository.create(newItem("a@example.com")));
+        assertEquals(List.of(owner.getId()), emailOwners("a@example.com"));
+    }
+
+    @Test
+    void testConcurrentEmailChangeReleasesLosingClaim() {
+        Item stored = shardedItemRepository.create(newItem("a@example.com"));
+
+        Item firstUpdate = newItem("b@example.com");
+        firstUpdate.setId(stored.getId());
+        Item secondUpdate = newItem("c@example.com");
+        secondUpdate.setId(stored.getId());
+
+        // Both updates read the item while it still had a@example.com
+        shardedItemRepository.update(firstUpdate, "a@example.com");
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> shardedItemRepository.update(secondUpdate, "a@example.com"));
+
+        assertEquals("b@example.com", shardedItemRepository.findById(stored.getId()).orElseThrow().getEmail());
+        assertEquals(List.of(stored.getId()), emailOwners("b@example.com"));
+        assertTrue(emailOwners("a@example.com").isEmpty());
+        assertTrue(emailOwners("c@example.com").isEmpty());
+    }
+
+    @Test
+    void testUpdateAfterDeleteDoesNotReinsert() {
+        Item stored = shardedItemRepository.create(newItem("a@example.com"));
+        shardedItemRepository.deleteById(stored.getId(), "a@example.com");
+
+        stored.setEmail("b@example.com");
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> shardedItemRepository.update(stored, "a@example.com"));
+
+        assertTrue(shardedItemRepository.findById(stored.getId()).isEmpty());
+        assertTrue(emailOwners("b@example.com").isEmpty());
+    }
+
+    @Test
+    void testConcurrentCreatesAcrossShards() throws Exception {
+        int threads = 8;
+        int itemsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> IntStream.range(0, itemsPerThread)
+                        .mapToObj(i -> shardedItemRepository.create(newItem(thread + "-" + i + "@example.com")).getId())
+                        .toList()));
+            }
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> future : futures) {
+                ids.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(threads * itemsPerThread, ids.size());
+            assertEquals(ids, Set.copyOf(shardedItemRepository.findAllIds()));
+            assertEquals(Set.of(0, 1, 2), ids.stream().map(shardedItemRepository::shardFor).collect(Collectors.toSet()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentCreatesWithSameEmailKeepOne() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        shardedItemRepository.create(newItem("a@example.com"));
+                        return true;
+                    } catch (DataIntegrityViolationException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<Boolean> future : futures) {
+                created += future.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(1, created);
+            assertEquals(1, shardedItemRepository.findAll().size());
+            assertEquals(shardedItemRepository.findAllIds(), emailOwners("a@example.com"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
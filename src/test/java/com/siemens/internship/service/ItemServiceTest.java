@@ -1,27 +1,31 @@
 package com.siemens.internship.service;
 
 import com.siemens.internship.model.Item;
-import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ShardedItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.springframework.boot.test.context.SpringBootTest;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+@ExtendWith(MockitoExtension.class)
 class ItemServiceTest {
 
     @Mock
-    private ItemRepository itemRepository;
+    private ShardedItemRepository itemRepository;
 
     @InjectMocks
     private ItemService itemService;
@@ -30,7 +34,6 @@ class ItemServiceTest {
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
         testItem = new Item();
         testItem.setId(1L);
         testItem.setName("Test Item");
@@ -58,20 +61,67 @@ class ItemServiceTest {
         verify(itemRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testFindAllWithFields() {
+        Map<String, Object> projection = Map.of("id", 1L, "status", "PENDING");
+        when(itemRepository.findAllProjected(Set.of("id", "status"))).thenReturn(List.of(projection));
+        List<Map<String, Object>> items = itemService.findAll(List.of(" id", "status", "id", ""));
+        assertEquals(List.of(projection), items);
+        verify(itemRepository, times(1)).findAllProjected(Set.of("id", "status"));
+        verify(itemRepository, never()).findAll();
+    }
+
+    @Test
+    void testFindAllWithUnknownField() {
+        assertThrows(IllegalArgumentException.class, () -> itemService.findAll(List.of("id", "price")));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void testFindAllWithNoFields() {
+        assertThrows(IllegalArgumentException.class, () -> itemService.findAll(List.of(" ")));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void testFindByIdWithFields() {
+        Map<String, Object> projection = Map.of("status", "PENDING");
+        when(itemRepository.findProjectedById(1L, Set.of("status"))).thenReturn(Optional.of(projection));
+        Optional<Map<String, Object>> found = itemService.findById(1L, List.of("status"));
+        assertTrue(found.isPresent());
+        assertEquals(projection, found.get());
+        verify(itemRepository, never()).findById(1L);
+    }
+
     @Test
     void testSave() {
-        when(itemRepository.save(any(Item.class))).thenReturn(testItem);
+        when(itemRepository.create(any(Item.class))).thenReturn(testItem);
         Item saved = itemService.save(testItem);
         assertNotNull(saved);
         assertEquals(testItem, saved);
-        verify(itemRepository, times(1)).save(testItem);
+        verify(itemRepository, times(1)).create(testItem);
+    }
+
+    @Test
+    void testUpdate() {
+        when(itemRepository.update(testItem, "old@example.com")).thenReturn(testItem);
+        Item updated = itemService.update(testItem, "old@example.com");
+        assertEquals(testItem, updated);
+        verify(itemRepository, times(1)).update(testItem, "old@example.com");
+    }
+
+    @Test
+    void testUpdateWithEmailInUse() {
+        when(itemRepository.update(testItem, "old@example.com"))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        assertThrows(DataIntegrityViolationException.class, () -> itemService.update(testItem, "old@example.com"));
     }
 
     @Test
-    void testDeleteById() {
-        doNothing().when(itemRepository).deleteById(1L);
-        itemService.deleteById(1L);
-        verify(itemRepository, times(1)).deleteById(1L);
+    void testDelete() {
+        doNothing().when(itemRepository).deleteById(1L, "test@example.com");
+        itemService.delete(testItem);
+        verify(itemRepository, times(1)).deleteById(1L, "test@example.com");
     }
 
     @Test
@@ -79,7 +129,7 @@ class ItemServiceTest {
         when(itemRepository.findAllIds()).thenReturn(Arrays.asList(1L, 2L));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
         when(itemRepository.findById(2L)).thenReturn(Optional.of(testItem));
-        when(itemRepository.save(any(Item.class))).thenReturn(testItem);
+        when(itemRepository.update(any(Item.class), eq("test@example.com"))).thenReturn(testItem);
 
         List<Item> processedItems = itemService.processItemsAsync();
         assertNotNull(processedItems);
@@ -88,6 +138,6 @@ class ItemServiceTest {
         verify(itemRepository, times(1)).findAllIds();
         verify(itemRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findById(2L);
-        verify(itemRepository, times(2)).save(any(Item.class));
+        verify(itemRepository, times(2)).update(any(Item.class), eq("test@example.com"));
     }
 } 
\ No newline at end of file